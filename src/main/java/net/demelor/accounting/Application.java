@@ -3,22 +3,31 @@ package net.demelor.accounting;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import net.demelor.accounting.model.account.AccountInMemoryStorage;
 import net.demelor.accounting.model.account.AccountRepository;
+import net.demelor.accounting.model.account.AccountResult;
 import net.demelor.accounting.model.account.AccountService;
 import net.demelor.accounting.model.account.AccountServiceImpl;
-import net.demelor.accounting.exception.AccountingException;
+import net.demelor.accounting.exception.AccountingError;
+import net.demelor.accounting.model.transfer.ScheduledTransferServiceImpl;
+import net.demelor.accounting.util.IdempotencyCache;
 import net.demelor.accounting.util.JsonTransformer;
 import net.demelor.accounting.view.request.CreateAccountRequest;
 import net.demelor.accounting.view.request.DoTransfer;
+import net.demelor.accounting.view.request.ScheduleTransfer;
 import net.demelor.accounting.view.response.AccountInfo;
 import net.demelor.accounting.view.response.AllAccountsResponse;
+import net.demelor.accounting.view.response.EncodedMessage;
 import net.demelor.accounting.view.response.Message;
+import net.demelor.accounting.view.response.ScheduledTransferInfo;
 import spark.Response;
 import spark.ResponseTransformer;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 import static spark.Spark.*;
 
@@ -27,6 +36,13 @@ public class Application {
         AccountRepository accountRepository = new AccountInMemoryStorage();
         AccountService<AccountInfo> accountService = new AccountServiceImpl<>(accountRepository, AccountInfo::new);
 
+        ScheduledTransferServiceImpl<ScheduledTransferInfo> scheduledTransferService =
+                new ScheduledTransferServiceImpl<>(accountService, ScheduledTransferInfo::new);
+        scheduledTransferService.start();
+
+        IdempotencyCache<AccountResult<AccountInfo>> completedTransfers = new IdempotencyCache<>(
+                IdempotencyCache.DEFAULT_MAX_SIZE, IdempotencyCache.DEFAULT_TTL_MILLIS, AccountResult::isSuccess);
+
         ResponseTransformer responseTransformer = new JsonTransformer();
         ObjectMapper mapper = new ObjectMapper();
 
@@ -82,16 +98,15 @@ public class Application {
                     return new Message("Invalid request data format");
                 }
 
-                try {
-                    AccountInfo account = accountService.createAccount(name, initialFunds);
+                AccountResult<AccountInfo> result = accountService.tryCreateAccount(name, initialFunds);
 
+                if (result.isSuccess()) {
                     json(res, 200);
-                    return account;
-                } catch (AccountingException e) {
+                    return result.value();
+                } else {
                     json(res, 400);
-                    return new Message(e.getMessage());
+                    return EncodedMessage.of(result.error());
                 }
-
             }, responseTransformer);
         });
 
@@ -108,17 +123,103 @@ public class Application {
                 return new Message("Invalid request data format");
             }
 
-            try {
-                AccountInfo account = accountService.transferFunds(doTransfer.sourceId, doTransfer.targetId, amount);
+            long sourceId = doTransfer.sourceId;
+            long targetId = doTransfer.targetId;
+            String idempotencyKey = req.headers("Idempotency-Key");
+
+            AccountResult<AccountInfo> result = idempotencyKey == null
+                    ? accountService.tryTransferFunds(sourceId, targetId, amount)
+                    : completedTransfers.compute(idempotencyKey, Arrays.asList(sourceId, targetId, amount),
+                            () -> accountService.tryTransferFunds(sourceId, targetId, amount),
+                            () -> AccountResult.failure(AccountingError.IDEMPOTENCY_KEY_REUSED));
 
+            if (result.isSuccess()) {
                 json(res, 200);
-                return account;
-            } catch (AccountingException e) {
+                return result.value();
+            } else if (result.error() == AccountingError.IDEMPOTENCY_KEY_REUSED) {
+                json(res, 422);
+                return EncodedMessage.of(result.error());
+            } else {
                 json(res, 400);
-                return new Message(e.getMessage());
+                return EncodedMessage.of(result.error());
             }
         }, responseTransformer);
 
+        path("/transfer/scheduled", () -> {
+            post("", (req, res) -> {
+                ScheduleTransfer scheduleTransfer;
+                BigDecimal amount;
+                long executeAt;
+                long interval;
+
+                try {
+                    scheduleTransfer = mapper.readValue(req.body(), ScheduleTransfer.class);
+                    amount = BigDecimal.valueOf(Double.parseDouble(scheduleTransfer.amount))
+                            .setScale(2, RoundingMode.HALF_UP);
+                    executeAt = scheduleTransfer.executeAt == null
+                            ? System.currentTimeMillis()
+                            : Instant.parse(scheduleTransfer.executeAt).toEpochMilli();
+                    interval = scheduleTransfer.repeatEvery == null
+                            ? 0
+                            : TimeUnit.SECONDS.toMillis(scheduleTransfer.repeatEvery);
+                } catch (Exception e) {
+                    json(res, 400);
+                    return new Message("Invalid request data format");
+                }
+
+                AccountResult<ScheduledTransferInfo> result = scheduledTransferService.tryScheduleTransfer(
+                        scheduleTransfer.sourceId, scheduleTransfer.targetId, amount, executeAt, interval);
+
+                if (result.isSuccess()) {
+                    json(res, 200);
+                    return result.value();
+                } else {
+                    json(res, 400);
+                    return EncodedMessage.of(result.error());
+                }
+            }, responseTransformer);
+
+            get("/:id", (req, res) -> {
+                long id;
+                try {
+                    id = Long.parseLong(req.params("id"));
+                } catch (NumberFormatException e) {
+                    json(res, 400);
+                    return new Message("Invalid scheduled transfer id format");
+                }
+
+                Optional<ScheduledTransferInfo> transfer = scheduledTransferService.findScheduledTransfer(id);
+
+                if (transfer.isPresent()) {
+                    json(res, 200);
+                    return transfer.get();
+                } else {
+                    json(res, 404);
+                    return new Message("Cannot find scheduled transfer by provided id");
+                }
+            }, responseTransformer);
+
+            delete("/:id", (req, res) -> {
+                long id;
+                try {
+                    id = Long.parseLong(req.params("id"));
+                } catch (NumberFormatException e) {
+                    json(res, 400);
+                    return new Message("Invalid scheduled transfer id format");
+                }
+
+                Optional<ScheduledTransferInfo> transfer = scheduledTransferService.cancelScheduledTransfer(id);
+
+                if (transfer.isPresent()) {
+                    json(res, 200);
+                    return transfer.get();
+                } else {
+                    json(res, 404);
+                    return new Message("Cannot find scheduled transfer by provided id");
+                }
+            }, responseTransformer);
+        });
+
         notFound((req, res) -> {
             json(res, 404);
             return mapper.writeValueAsString(
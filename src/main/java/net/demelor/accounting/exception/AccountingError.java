@@ -0,0 +1,22 @@
+package net.demelor.accounting.exception;
+
+/**
+ * Typed reasons for rejecting accounting operations.
+ */
+public enum AccountingError {
+    EMPTY_ACCOUNT_NAME("New account name must be non-empty"),
+    NEGATIVE_INITIAL_FUNDS("New account initial funds must be a non-negative value"),
+    SAME_ACCOUNT_TRANSFER("Cannot transfer funds within same account"),
+    NON_POSITIVE_TRANSFER_AMOUNT("Transfer amount must be a positive value"),
+    NEGATIVE_REPEAT_INTERVAL("Repeat interval must be a non-negative value"),
+    REPEAT_INTERVAL_TOO_LONG("Repeat interval must not exceed 3650 days"),
+    INSUFFICIENT_FUNDS("Insufficient funds on source account"),
+    ACCOUNT_NOT_FOUND("No account found for provided id"),
+    IDEMPOTENCY_KEY_REUSED("Idempotency key was already used for a different request");
+
+    public final String message;
+
+    AccountingError(String message) {
+        this.message = message;
+    }
+}
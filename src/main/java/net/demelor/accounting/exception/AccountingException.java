@@ -1,11 +1,27 @@
 package net.demelor.accounting.exception;
 
 public class AccountingException extends Exception {
+    private final AccountingError error;
+
     public AccountingException() {
         super();
+        this.error = null;
     }
 
     public AccountingException(String message) {
         super(message);
+        this.error = null;
+    }
+
+    public AccountingException(AccountingError error) {
+        super(error.message);
+        this.error = error;
+    }
+
+    /**
+     * @return typed rejection reason, or null if exception was created with plain message
+     */
+    public AccountingError getError() {
+        return error;
     }
 }
@@ -0,0 +1,52 @@
+package net.demelor.accounting.model.account;
+
+import net.demelor.accounting.exception.AccountingError;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Outcome of an account operation: either resulting view or typed error.
+ * Failures are shared per error code, so rejecting a request allocates nothing
+ * and captures no stack trace.
+ *
+ * @param <V> resulting view type
+ */
+public final class AccountResult<V> {
+    private static final Map<AccountingError, AccountResult<?>> FAILURES = new EnumMap<>(AccountingError.class);
+
+    static {
+        for (AccountingError error : AccountingError.values()) {
+            FAILURES.put(error, new AccountResult<>(null, error));
+        }
+    }
+
+    private final V value;
+    private final AccountingError error;
+
+    private AccountResult(V value, AccountingError error) {
+        this.value = value;
+        this.error = error;
+    }
+
+    public static <V> AccountResult<V> success(V value) {
+        return new AccountResult<>(value, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <V> AccountResult<V> failure(AccountingError error) {
+        return (AccountResult<V>) FAILURES.get(error);
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    public V value() {
+        return value;
+    }
+
+    public AccountingError error() {
+        return error;
+    }
+}
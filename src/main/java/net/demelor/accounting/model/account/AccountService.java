@@ -14,4 +14,14 @@ public interface AccountService<V> {
     V createAccount(String name, BigDecimal funds) throws AccountingException;
 
     V transferFunds(long sourceId, long targetId, BigDecimal amount) throws AccountingException;
+
+    /**
+     * Same as {@link #createAccount}, but reports rejection as typed error instead of exception.
+     */
+    AccountResult<V> tryCreateAccount(String name, BigDecimal funds);
+
+    /**
+     * Same as {@link #transferFunds}, but reports rejection as typed error instead of exception.
+     */
+    AccountResult<V> tryTransferFunds(long sourceId, long targetId, BigDecimal amount);
 }
@@ -1,5 +1,6 @@
 package net.demelor.accounting.model.account;
 
+import net.demelor.accounting.exception.AccountingError;
 import net.demelor.accounting.exception.AccountingException;
 
 import java.math.BigDecimal;
@@ -49,22 +50,32 @@ public class AccountServiceImpl<V> implements AccountService<V> {
 
     @Override
     public V createAccount(String name, BigDecimal funds) throws AccountingException {
+        return orThrow(tryCreateAccount(name, funds));
+    }
+
+    @Override
+    public V transferFunds(long sourceId, long targetId, BigDecimal amount) throws AccountingException {
+        return orThrow(tryTransferFunds(sourceId, targetId, amount));
+    }
+
+    @Override
+    public AccountResult<V> tryCreateAccount(String name, BigDecimal funds) {
         if (name == null || name.trim().isEmpty()) {
-            throw new AccountingException("New account name must be non-empty");
+            return AccountResult.failure(AccountingError.EMPTY_ACCOUNT_NAME);
         } else if (funds == null || funds.signum() < 0) {
-            throw new AccountingException("New account initial funds must be a non-negative value");
+            return AccountResult.failure(AccountingError.NEGATIVE_INITIAL_FUNDS);
         }
 
         Account account = repository.create(name, funds);
-        return account.toView(viewTransform);
+        return AccountResult.success(account.toView(viewTransform));
     }
 
     @Override
-    public V transferFunds(long sourceId, long targetId, BigDecimal amount) throws AccountingException {
+    public AccountResult<V> tryTransferFunds(long sourceId, long targetId, BigDecimal amount) {
         if (sourceId == targetId) {
-            throw new AccountingException("Cannot transfer funds within same account");
+            return AccountResult.failure(AccountingError.SAME_ACCOUNT_TRANSFER);
         } else if (amount == null || amount.signum() <= 0) {
-            throw new AccountingException("Transfer amount must be a positive value");
+            return AccountResult.failure(AccountingError.NON_POSITIVE_TRANSFER_AMOUNT);
         }
 
         Optional<Account> sourceAccount = repository.find(sourceId);
@@ -77,7 +88,7 @@ public class AccountServiceImpl<V> implements AccountService<V> {
             lockInOrder(source, target);
             try {
                 if (source.funds.compareTo(amount) < 0) {
-                    throw new AccountingException("Insufficient funds on source account");
+                    return AccountResult.failure(AccountingError.INSUFFICIENT_FUNDS);
                 }
 
                 source.funds = source.funds.subtract(amount);
@@ -86,14 +97,21 @@ public class AccountServiceImpl<V> implements AccountService<V> {
                 repository.persist(source);
                 repository.persist(target);
 
-                return source.toView(viewTransform);
+                return AccountResult.success(source.toView(viewTransform));
             } finally {
                 unlockInOrder(source, target);
             }
 
         } else {
-            throw new AccountingException("No account found for provided id");
+            return AccountResult.failure(AccountingError.ACCOUNT_NOT_FOUND);
+        }
+    }
+
+    private static <V> V orThrow(AccountResult<V> result) throws AccountingException {
+        if (result.isSuccess()) {
+            return result.value();
         }
+        throw new AccountingException(result.error());
     }
 
     private static void lockInOrder(Account one, Account two) {
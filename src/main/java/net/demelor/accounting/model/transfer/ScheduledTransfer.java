@@ -0,0 +1,46 @@
+package net.demelor.accounting.model.transfer;
+
+import net.demelor.accounting.util.HierarchicalTimerWheel;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+class ScheduledTransfer {
+    final long id;
+    final long sourceId;
+    final long targetId;
+    final BigDecimal amount;
+    final long interval;
+
+    volatile long nextExecution;
+    volatile String lastError;
+    volatile boolean cancelled;
+
+    HierarchicalTimerWheel.Timeout<ScheduledTransfer> timeout;
+
+    ScheduledTransfer(long id, long sourceId, long targetId, BigDecimal amount, long nextExecution, long interval) {
+        this.id = id;
+        this.sourceId = sourceId;
+        this.targetId = targetId;
+        this.amount = amount.setScale(2, RoundingMode.HALF_UP);
+        this.nextExecution = nextExecution;
+        this.interval = interval;
+    }
+
+    /**
+     * View interface to avoid reference leaks from model layer.
+     * @param <T> resulting view type
+     */
+    public interface ViewTransform<T> {
+        T createView(long id, long sourceId, long targetId, BigDecimal amount,
+                     long nextExecution, long interval, String lastError);
+    }
+
+    <V> V toView(ViewTransform<V> viewTransform) {
+        return viewTransform.createView(id, sourceId, targetId, amount, nextExecution, interval, lastError);
+    }
+
+    boolean isRecurring() {
+        return interval > 0;
+    }
+}
@@ -0,0 +1,26 @@
+package net.demelor.accounting.model.transfer;
+
+import net.demelor.accounting.exception.AccountingException;
+import net.demelor.accounting.model.account.AccountResult;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+public interface ScheduledTransferService<V> {
+    /**
+     * @param executeAt time of the first execution, epoch millis
+     * @param interval repeat interval in millis, zero for one-shot transfer
+     */
+    V scheduleTransfer(long sourceId, long targetId, BigDecimal amount,
+                       long executeAt, long interval) throws AccountingException;
+
+    /**
+     * Same as {@link #scheduleTransfer}, but reports rejection as typed error instead of exception.
+     */
+    AccountResult<V> tryScheduleTransfer(long sourceId, long targetId, BigDecimal amount,
+                                         long executeAt, long interval);
+
+    Optional<V> findScheduledTransfer(long id);
+
+    Optional<V> cancelScheduledTransfer(long id);
+}
@@ -0,0 +1,306 @@
+package net.demelor.accounting.model.transfer;
+
+import net.demelor.accounting.exception.AccountingError;
+import net.demelor.accounting.exception.AccountingException;
+import net.demelor.accounting.model.account.AccountResult;
+import net.demelor.accounting.model.account.AccountService;
+import net.demelor.accounting.util.HierarchicalTimerWheel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Keeps scheduled transfers in a hierarchical timer wheel and executes due
+ * ones through {@link AccountService#tryTransferFunds}.
+ *
+ * Due transfers are grouped by source account and handed to a bounded worker
+ * pool, one batch per source. When the pool queue is full, the ticking thread
+ * runs the batch itself, so large spikes of due transfers slow down the
+ * scheduler instead of piling up in memory or competing with request threads.
+ * Batches which could not be dispatched at all, e.g. after {@link #stop()},
+ * are logged and dropped, recurring transfers of them stay scheduled.
+ *
+ * Wheel lock is held while due transfers are drained from the wheel, which is
+ * linear in their number. Recurring transfers are put back in chunks of
+ * {@link #RESCHEDULE_CHUNK}, releasing the lock in between, so scheduling and
+ * cancelling requests are not blocked for the whole spike.
+ */
+public class ScheduledTransferServiceImpl<V> implements ScheduledTransferService<V> {
+    private static final Logger log = LoggerFactory.getLogger(ScheduledTransferServiceImpl.class);
+
+    public static final long DEFAULT_TICK_MILLIS = 1000;
+    public static final int DEFAULT_WORKERS = 2;
+    public static final int DEFAULT_QUEUE_CAPACITY = 1024;
+    public static final long MAX_REPEAT_INTERVAL = TimeUnit.DAYS.toMillis(3650);
+    public static final int RESCHEDULE_CHUNK = 1024;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<Long, ScheduledTransfer> transfers = new ConcurrentHashMap<>();
+
+    private final Lock wheelLock = new ReentrantLock();
+    private final HierarchicalTimerWheel<ScheduledTransfer> wheel;
+
+    private final AccountService<?> accountService;
+    private final ScheduledTransfer.ViewTransform<V> viewTransform;
+    private final long tickMillis;
+    private final LongSupplier clock;
+
+    private final Executor workers;
+    private ScheduledExecutorService ticker;
+
+    public ScheduledTransferServiceImpl(AccountService<?> accountService,
+                                        ScheduledTransfer.ViewTransform<V> viewTransform) {
+        this(accountService, viewTransform, DEFAULT_TICK_MILLIS, DEFAULT_WORKERS, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    public ScheduledTransferServiceImpl(AccountService<?> accountService,
+                                        ScheduledTransfer.ViewTransform<V> viewTransform,
+                                        long tickMillis, int workerCount, int queueCapacity) {
+        this(accountService, viewTransform, tickMillis, System::currentTimeMillis,
+                new ThreadPoolExecutor(workerCount, workerCount, 0, TimeUnit.MILLISECONDS,
+                        new ArrayBlockingQueue<>(queueCapacity), daemonThreads("transfer-worker"),
+                        ScheduledTransferServiceImpl::runInCallerUnlessShutdown));
+    }
+
+    ScheduledTransferServiceImpl(AccountService<?> accountService,
+                                 ScheduledTransfer.ViewTransform<V> viewTransform,
+                                 long tickMillis, LongSupplier clock, Executor workers) {
+        if (accountService == null || viewTransform == null || clock == null || workers == null) {
+            throw new NullPointerException("Injected dependency is null");
+        } else if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick duration must be positive");
+        }
+        this.accountService = accountService;
+        this.viewTransform = viewTransform;
+        this.tickMillis = tickMillis;
+        this.clock = clock;
+        this.wheel = new HierarchicalTimerWheel<>(6, 6, clock.getAsLong() / tickMillis);
+        this.workers = workers;
+    }
+
+    public synchronized void start() {
+        if (ticker == null) {
+            ticker = Executors.newSingleThreadScheduledExecutor(daemonThreads("transfer-scheduler"));
+            ticker.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public synchronized void stop() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+        if (workers instanceof ExecutorService) {
+            ((ExecutorService) workers).shutdown();
+        }
+    }
+
+    @Override
+    public V scheduleTransfer(long sourceId, long targetId, BigDecimal amount,
+                              long executeAt, long interval) throws AccountingException {
+        AccountResult<V> result = tryScheduleTransfer(sourceId, targetId, amount, executeAt, interval);
+        if (result.isSuccess()) {
+            return result.value();
+        }
+        throw new AccountingException(result.error());
+    }
+
+    @Override
+    public AccountResult<V> tryScheduleTransfer(long sourceId, long targetId, BigDecimal amount,
+                                                long executeAt, long interval) {
+        if (sourceId == targetId) {
+            return AccountResult.failure(AccountingError.SAME_ACCOUNT_TRANSFER);
+        } else if (amount == null || amount.signum() <= 0) {
+            return AccountResult.failure(AccountingError.NON_POSITIVE_TRANSFER_AMOUNT);
+        } else if (interval < 0) {
+            return AccountResult.failure(AccountingError.NEGATIVE_REPEAT_INTERVAL);
+        } else if (interval > MAX_REPEAT_INTERVAL) {
+            return AccountResult.failure(AccountingError.REPEAT_INTERVAL_TOO_LONG);
+        } else if (!accountService.findAccount(sourceId).isPresent()
+                || !accountService.findAccount(targetId).isPresent()) {
+            return AccountResult.failure(AccountingError.ACCOUNT_NOT_FOUND);
+        }
+
+        ScheduledTransfer transfer = new ScheduledTransfer(
+                sequence.incrementAndGet(), sourceId, targetId, amount, executeAt, interval);
+
+        // Publish only after the transfer is in the wheel, so cancel always finds its timeout
+        wheelLock.lock();
+        try {
+            transfer.timeout = wheel.schedule(transfer, toTick(executeAt));
+            transfers.put(transfer.id, transfer);
+        } finally {
+            wheelLock.unlock();
+        }
+
+        return AccountResult.success(transfer.toView(viewTransform));
+    }
+
+    @Override
+    public Optional<V> findScheduledTransfer(long id) {
+        return Optional.ofNullable(transfers.get(id))
+                .map(transfer -> transfer.toView(viewTransform));
+    }
+
+    @Override
+    public Optional<V> cancelScheduledTransfer(long id) {
+        ScheduledTransfer transfer = transfers.remove(id);
+        if (transfer == null) {
+            return Optional.empty();
+        }
+
+        transfer.cancelled = true;
+        wheelLock.lock();
+        try {
+            wheel.cancel(transfer.timeout);
+        } finally {
+            wheelLock.unlock();
+        }
+
+        return Optional.of(transfer.toView(viewTransform));
+    }
+
+    /**
+     * Advances the wheel to current time, reschedules recurring transfers and
+     * dispatches due ones in batches by source account.
+     */
+    void tick() {
+        long now = clock.getAsLong();
+
+        List<ScheduledTransfer> due;
+        wheelLock.lock();
+        try {
+            due = wheel.advance(now / tickMillis);
+        } catch (RuntimeException e) {
+            log.error("Failed to advance scheduled transfers", e);
+            return;
+        } finally {
+            wheelLock.unlock();
+        }
+
+        Map<Long, List<ScheduledTransfer>> batches = new HashMap<>();
+        List<ScheduledTransfer> recurring = new ArrayList<>();
+        for (ScheduledTransfer transfer : due) {
+            if (transfer.cancelled) {
+                continue;
+            }
+            if (transfer.isRecurring()) {
+                recurring.add(transfer);
+            }
+            batches.computeIfAbsent(transfer.sourceId, id -> new ArrayList<>()).add(transfer);
+        }
+
+        for (int from = 0; from < recurring.size(); from += RESCHEDULE_CHUNK) {
+            List<ScheduledTransfer> chunk = recurring.subList(from, Math.min(from + RESCHEDULE_CHUNK, recurring.size()));
+            wheelLock.lock();
+            try {
+                for (ScheduledTransfer transfer : chunk) {
+                    reschedule(transfer, now);
+                }
+            } finally {
+                wheelLock.unlock();
+            }
+        }
+
+        for (List<ScheduledTransfer> batch : batches.values()) {
+            try {
+                workers.execute(() -> execute(batch));
+            } catch (RuntimeException e) {
+                log.error("Dropped {} scheduled transfers of account {}, cannot dispatch them",
+                        batch.size(), batch.get(0).sourceId, e);
+                for (ScheduledTransfer transfer : batch) {
+                    transfer.lastError = "Transfer was not executed: " + e.getMessage();
+                    if (!transfer.isRecurring()) {
+                        transfers.remove(transfer.id);
+                    }
+                }
+            }
+        }
+    }
+
+    private void execute(List<ScheduledTransfer> batch) {
+        for (ScheduledTransfer transfer : batch) {
+            try {
+                if (transfer.cancelled) {
+                    continue;
+                }
+                AccountResult<?> result = accountService.tryTransferFunds(
+                        transfer.sourceId, transfer.targetId, transfer.amount);
+                transfer.lastError = result.isSuccess() ? null : result.error().message;
+            } catch (RuntimeException e) {
+                log.error("Failed to execute scheduled transfer {}", transfer.id, e);
+                transfer.lastError = "Transfer failed: " + e;
+            } finally {
+                if (!transfer.isRecurring()) {
+                    transfers.remove(transfer.id);
+                }
+            }
+        }
+    }
+
+    /**
+     * Moves recurring transfer to its next execution after current time,
+     * skipping executions missed while the service was behind. Transfer with
+     * no representable next execution is dropped.
+     */
+    private void reschedule(ScheduledTransfer transfer, long now) {
+        if (transfer.cancelled) {
+            return;
+        }
+
+        long next;
+        try {
+            next = Math.addExact(transfer.nextExecution, transfer.interval);
+        } catch (ArithmeticException e) {
+            transfers.remove(transfer.id);
+            return;
+        }
+
+        if (next <= now) {
+            long behind = now - next;
+            if (behind < 0) {
+                // First execution was so far in the past that the gap overflows
+                next = now + transfer.interval;
+            } else {
+                next = now + transfer.interval - behind % transfer.interval;
+            }
+        }
+
+        transfer.nextExecution = next;
+        transfer.timeout = wheel.schedule(transfer, toTick(next));
+    }
+
+    /**
+     * Rounds time up to the tick, without overflow on extreme values.
+     */
+    private long toTick(long millis) {
+        long tick = millis / tickMillis;
+        return millis % tickMillis > 0 ? tick + 1 : tick;
+    }
+
+    /**
+     * Same as {@link ThreadPoolExecutor.CallerRunsPolicy}, but fails instead
+     * of silently dropping the task when the pool is shut down.
+     */
+    private static void runInCallerUnlessShutdown(Runnable task, ThreadPoolExecutor executor) {
+        if (executor.isShutdown()) {
+            throw new RejectedExecutionException("Transfer workers are shut down");
+        }
+        task.run();
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        AtomicLong counter = new AtomicLong();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,209 @@
+package net.demelor.accounting.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timer wheel with O(1) insert and cancel.
+ *
+ * Time is measured in abstract ticks. Level 0 holds timeouts due within the
+ * next {@code 2^bits} ticks, one slot per tick; every next level covers
+ * {@code 2^bits} times wider range with the same number of slots. When lower
+ * level wraps around, matching slot of upper level is cascaded down, so each
+ * timeout is moved at most once per level.
+ *
+ * Not thread safe, callers are expected to guard access to the wheel.
+ *
+ * @param <T> type of scheduled task
+ */
+public class HierarchicalTimerWheel<T> {
+    private final int bits;
+    private final int mask;
+    private final long maxDelta;
+    private final Slot<T>[][] levels;
+
+    private long currentTick;
+    private int size;
+
+    public HierarchicalTimerWheel() {
+        this(6, 6, 0);
+    }
+
+    /**
+     * @param bits number of bits per level, each level has {@code 2^bits} slots
+     * @param levelCount number of levels
+     * @param startTick tick that is considered already passed
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public HierarchicalTimerWheel(int bits, int levelCount, long startTick) {
+        if (bits <= 0 || levelCount <= 0 || bits * levelCount >= Long.SIZE - 1) {
+            throw new IllegalArgumentException("Invalid timer wheel dimensions");
+        }
+        this.bits = bits;
+        this.mask = (1 << bits) - 1;
+        this.maxDelta = 1L << (bits * levelCount);
+        this.levels = new Slot[levelCount][1 << bits];
+        for (Slot<T>[] level : levels) {
+            for (int i = 0; i < level.length; i++) {
+                level[i] = new Slot<>();
+            }
+        }
+        this.currentTick = startTick;
+    }
+
+    /**
+     * Handle of scheduled task, could be used to cancel it.
+     */
+    public static final class Timeout<T> {
+        private final T task;
+        private final long deadline;
+
+        private Slot<T> slot;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+
+        private Timeout(T task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        public T task() {
+            return task;
+        }
+
+        public long deadline() {
+            return deadline;
+        }
+
+        public boolean isPending() {
+            return slot != null;
+        }
+    }
+
+    private static final class Slot<T> {
+        private Timeout<T> head;
+
+        private void add(Timeout<T> timeout) {
+            timeout.slot = this;
+            timeout.prev = null;
+            timeout.next = head;
+            if (head != null) {
+                head.prev = timeout;
+            }
+            head = timeout;
+        }
+
+        private void remove(Timeout<T> timeout) {
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            }
+            timeout.slot = null;
+            timeout.prev = null;
+            timeout.next = null;
+        }
+
+        private Timeout<T> detachAll() {
+            Timeout<T> detached = head;
+            head = null;
+            return detached;
+        }
+    }
+
+    /**
+     * Schedules task to be expired at provided tick. Deadlines that already
+     * passed are expired on the next advanced tick.
+     */
+    public Timeout<T> schedule(T task, long deadline) {
+        Timeout<T> timeout = new Timeout<>(task, deadline);
+        place(timeout, currentTick + 1);
+        size++;
+        return timeout;
+    }
+
+    /**
+     * @return true if timeout was pending and now removed from the wheel
+     */
+    public boolean cancel(Timeout<T> timeout) {
+        if (timeout == null || timeout.slot == null) {
+            return false;
+        }
+        timeout.slot.remove(timeout);
+        size--;
+        return true;
+    }
+
+    /**
+     * Advances wheel up to provided tick inclusive.
+     *
+     * @return tasks of all expired timeouts, in order of their ticks
+     */
+    public List<T> advance(long tick) {
+        List<T> expired = new ArrayList<>();
+        while (currentTick < tick) {
+            long now = currentTick + 1;
+
+            for (int level = 1; level < levels.length; level++) {
+                if ((now & ((1L << (bits * level)) - 1)) != 0) {
+                    break;
+                }
+                cascade(level, now);
+            }
+
+            Timeout<T> timeout = levels[0][(int) (now & mask)].detachAll();
+            while (timeout != null) {
+                Timeout<T> next = timeout.next;
+                timeout.slot = null;
+                timeout.prev = null;
+                timeout.next = null;
+                expired.add(timeout.task);
+                size--;
+                timeout = next;
+            }
+
+            currentTick = now;
+        }
+        return expired;
+    }
+
+    public long currentTick() {
+        return currentTick;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void cascade(int level, long now) {
+        Timeout<T> timeout = levels[level][(int) ((now >>> (bits * level)) & mask)].detachAll();
+        while (timeout != null) {
+            Timeout<T> next = timeout.next;
+            place(timeout, now);
+            timeout = next;
+        }
+    }
+
+    /**
+     * Puts timeout into the slot which is processed no later than its
+     * deadline, relative to the first tick which is not processed yet.
+     */
+    private void place(Timeout<T> timeout, long now) {
+        long deadline = Math.max(timeout.deadline, now);
+        long delta = deadline - now;
+        if (delta >= maxDelta) {
+            deadline = now + maxDelta - 1;
+            delta = maxDelta - 1;
+        }
+
+        int level = 0;
+        while (delta >= (1L << (bits * (level + 1)))) {
+            level++;
+        }
+
+        levels[level][(int) ((deadline >>> (bits * level)) & mask)].add(timeout);
+    }
+}
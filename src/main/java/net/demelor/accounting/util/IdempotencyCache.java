@@ -0,0 +1,190 @@
+package net.demelor.accounting.util;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of operation results by idempotency key.
+ *
+ * Keys are spread over independently locked segments. Each segment keeps
+ * running operations apart from completed ones, so only completed results are
+ * subject to eviction: they live in an access-ordered LRU map with segment's
+ * share of the total size and expire after configured time to live.
+ *
+ * Caller that comes with a key of still running operation waits for its
+ * result instead of running the operation once again. Each key is bound to
+ * the fingerprint of the request it was first used with, reusing it for
+ * another request gets the conflict result instead.
+ *
+ * Only results accepted by the storable predicate are kept after completion,
+ * others are handed to callers already waiting and then dropped, as well as
+ * failures with unexpected exceptions. Operation is run again on the next
+ * call with such key.
+ *
+ * @param <V> type of operation result
+ */
+public class IdempotencyCache<V> {
+    public static final int DEFAULT_MAX_SIZE = 100_000;
+    public static final long DEFAULT_TTL_MILLIS = 24 * 60 * 60 * 1000;
+
+    static final int SEGMENTS = 16;
+
+    private final Segment<V>[] segments;
+    private final long ttlMillis;
+    private final Predicate<? super V> storable;
+    private final LongSupplier clock;
+
+    public IdempotencyCache(int maxSize, long ttlMillis) {
+        this(maxSize, ttlMillis, value -> true);
+    }
+
+    public IdempotencyCache(int maxSize, long ttlMillis, Predicate<? super V> storable) {
+        this(maxSize, ttlMillis, storable, System::currentTimeMillis);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    IdempotencyCache(int maxSize, long ttlMillis, Predicate<? super V> storable, LongSupplier clock) {
+        if (maxSize <= 0 || ttlMillis <= 0) {
+            throw new IllegalArgumentException("Cache size and time to live must be positive");
+        }
+        this.ttlMillis = ttlMillis;
+        this.storable = storable;
+        this.clock = clock;
+        this.segments = new Segment[SEGMENTS];
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment<>(Math.max(1, maxSize / SEGMENTS), clock);
+        }
+    }
+
+    private static final class Entry<V> {
+        private final Object fingerprint;
+        private final CompletableFuture<V> result = new CompletableFuture<>();
+        private final AtomicInteger waiters = new AtomicInteger();
+        private long expiresAt;
+
+        private Entry(Object fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+    }
+
+    private static final class Segment<V> {
+        private final Map<String, Entry<V>> running = new HashMap<>();
+        private final LinkedHashMap<String, Entry<V>> completed;
+
+        private Segment(int maxSize, LongSupplier clock) {
+            this.completed = new LinkedHashMap<String, Entry<V>>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Entry<V>> eldest) {
+                    return size() > maxSize || eldest.getValue().expiresAt <= clock.getAsLong();
+                }
+            };
+        }
+    }
+
+    /**
+     * Returns result stored for the key, waits for it if operation with the
+     * same key is in progress, or otherwise runs the operation and stores its
+     * result.
+     *
+     * @param fingerprint identity of the request, compared by equals with
+     *                    the one the key was first used with
+     * @param conflict result for the key already used with another fingerprint
+     */
+    public V compute(String key, Object fingerprint, Supplier<V> operation, Supplier<V> conflict) {
+        Segment<V> segment = segmentOf(key);
+
+        Entry<V> entry;
+        boolean owner = false;
+        synchronized (segment) {
+            entry = segment.running.get(key);
+            if (entry == null) {
+                entry = segment.completed.get(key);
+                if (entry != null && entry.expiresAt <= clock.getAsLong()) {
+                    segment.completed.remove(key);
+                    entry = null;
+                }
+            }
+
+            if (entry == null) {
+                entry = new Entry<>(fingerprint);
+                segment.running.put(key, entry);
+                owner = true;
+            } else if (!Objects.equals(entry.fingerprint, fingerprint)) {
+                return conflict.get();
+            } else {
+                entry.waiters.incrementAndGet();
+            }
+        }
+
+        if (!owner) {
+            return await(entry);
+        }
+
+        V value;
+        try {
+            value = operation.get();
+        } catch (RuntimeException | Error e) {
+            synchronized (segment) {
+                segment.running.remove(key);
+            }
+            entry.result.completeExceptionally(e);
+            throw e;
+        }
+
+        synchronized (segment) {
+            segment.running.remove(key);
+            if (storable.test(value)) {
+                entry.expiresAt = clock.getAsLong() + ttlMillis;
+                segment.completed.put(key, entry);
+            }
+        }
+        entry.result.complete(value);
+        return value;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment<V> segment : segments) {
+            synchronized (segment) {
+                size += segment.running.size() + segment.completed.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * @return number of callers waiting for the running operation with the key
+     */
+    int waiters(String key) {
+        Segment<V> segment = segmentOf(key);
+        synchronized (segment) {
+            Entry<V> entry = segment.running.get(key);
+            return entry == null ? 0 : entry.waiters.get();
+        }
+    }
+
+    private Segment<V> segmentOf(String key) {
+        return segments[(key.hashCode() & 0x7fffffff) % SEGMENTS];
+    }
+
+    private static <V> V await(Entry<V> entry) {
+        try {
+            return entry.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            } else if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
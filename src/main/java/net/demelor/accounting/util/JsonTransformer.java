@@ -1,6 +1,7 @@
 package net.demelor.accounting.util;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import net.demelor.accounting.view.response.EncodedMessage;
 import spark.ResponseTransformer;
 
 public class JsonTransformer implements ResponseTransformer {
@@ -8,6 +9,9 @@ public class JsonTransformer implements ResponseTransformer {
 
     @Override
     public String render(Object o) throws Exception {
+        if (o instanceof EncodedMessage) {
+            return ((EncodedMessage) o).json;
+        }
         return mapper.writeValueAsString(o);
     }
 }
@@ -0,0 +1,9 @@
+package net.demelor.accounting.view.request;
+
+public class ScheduleTransfer {
+    public Long sourceId;
+    public Long targetId;
+    public String amount;
+    public String executeAt;
+    public Long repeatEvery;
+}
@@ -0,0 +1,37 @@
+package net.demelor.accounting.view.response;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.demelor.accounting.exception.AccountingError;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Error {@link Message} serialized once at startup, rendered as is by
+ * {@link net.demelor.accounting.util.JsonTransformer}.
+ */
+public class EncodedMessage {
+    private static final Map<AccountingError, EncodedMessage> ERRORS = new EnumMap<>(AccountingError.class);
+
+    static {
+        ObjectMapper mapper = new ObjectMapper();
+        for (AccountingError error : AccountingError.values()) {
+            try {
+                ERRORS.put(error, new EncodedMessage(mapper.writeValueAsString(new Message(error.message))));
+            } catch (JsonProcessingException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+    }
+
+    public final String json;
+
+    private EncodedMessage(String json) {
+        this.json = json;
+    }
+
+    public static EncodedMessage of(AccountingError error) {
+        return ERRORS.get(error);
+    }
+}
@@ -0,0 +1,46 @@
+package net.demelor.accounting.view.response;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.Objects;
+
+public class ScheduledTransferInfo {
+    public final long id;
+    public final long sourceId;
+    public final long targetId;
+    public final String amount;
+    public final String nextExecution;
+    public final Long repeatEvery;
+    public final String lastError;
+
+    public ScheduledTransferInfo(long id, long sourceId, long targetId, BigDecimal amount,
+                                 long nextExecution, long interval, String lastError) {
+        this.id = id;
+        this.sourceId = sourceId;
+        this.targetId = targetId;
+        this.amount = amount.setScale(2, RoundingMode.HALF_UP).toString();
+        this.nextExecution = Instant.ofEpochMilli(nextExecution).toString();
+        this.repeatEvery = interval > 0 ? interval / 1000 : null;
+        this.lastError = lastError;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ScheduledTransferInfo that = (ScheduledTransferInfo) o;
+        return id == that.id &&
+                sourceId == that.sourceId &&
+                targetId == that.targetId &&
+                amount.equals(that.amount) &&
+                nextExecution.equals(that.nextExecution) &&
+                Objects.equals(repeatEvery, that.repeatEvery) &&
+                Objects.equals(lastError, that.lastError);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, sourceId, targetId, amount, nextExecution, repeatEvery, lastError);
+    }
+}
@@ -1,5 +1,6 @@
 package net.demelor.accounting.model.account;
 
+import net.demelor.accounting.exception.AccountingError;
 import net.demelor.accounting.exception.AccountingException;
 import net.demelor.accounting.view.response.AccountInfo;
 import org.junit.jupiter.api.Test;
@@ -184,6 +185,95 @@ public class AccountServiceImplTest {
         assertThrows(AccountingException.class, () -> service.transferFunds(1, 2, transferAmount));
     }
 
+    @Test
+    void tryCreateAccount_shouldReturnTypedError_onInvalidData() {
+        BigDecimal mockAmount = BigDecimal.valueOf(30).setScale(2, RoundingMode.HALF_UP);
+        AccountRepository mockRepo = mock(AccountRepository.class);
+
+        AccountServiceImpl<AccountInfo> service = new AccountServiceImpl<>(mockRepo, AccountInfo::new);
+
+        assertEquals(AccountingError.EMPTY_ACCOUNT_NAME, service.tryCreateAccount("  ", mockAmount).error());
+        assertEquals(AccountingError.NEGATIVE_INITIAL_FUNDS, service.tryCreateAccount("Jack", mockAmount.negate()).error());
+        verify(mockRepo, never()).create(any(), any());
+    }
+
+    @Test
+    void tryTransferFunds_shouldComplete_andReturnSourceAccountState() {
+        Account mockSourceAccount = new Account(1, BigDecimal.valueOf(70).setScale(2, RoundingMode.HALF_UP), "Alice");
+        Account mockTargetAccount = new Account(2, BigDecimal.valueOf(10).setScale(2, RoundingMode.HALF_UP), "Bob");
+
+        AccountRepository mockRepo = mock(AccountRepository.class);
+        when(mockRepo.find(1)).thenReturn(Optional.of(mockSourceAccount));
+        when(mockRepo.find(2)).thenReturn(Optional.of(mockTargetAccount));
+
+        AccountServiceImpl<AccountInfo> service = new AccountServiceImpl<>(mockRepo, AccountInfo::new);
+
+        AccountResult<AccountInfo> result = service.tryTransferFunds(1, 2, BigDecimal.valueOf(30).setScale(2, RoundingMode.HALF_UP));
+        assertTrue(result.isSuccess());
+        assertNull(result.error());
+        assertEquals(mockSourceAccount.toView(AccountInfo::new), result.value());
+        verify(mockRepo, times(1)).persist(mockSourceAccount);
+        verify(mockRepo, times(1)).persist(mockTargetAccount);
+    }
+
+    @Test
+    void tryTransferFunds_shouldReturnError_onInsufficientFunds() {
+        Account mockSourceAccount = new Account(1, BigDecimal.valueOf(20).setScale(2, RoundingMode.HALF_UP), "Alice");
+        Account mockTargetAccount = new Account(2, BigDecimal.valueOf(10).setScale(2, RoundingMode.HALF_UP), "Bob");
+
+        AccountRepository mockRepo = mock(AccountRepository.class);
+        when(mockRepo.find(1)).thenReturn(Optional.of(mockSourceAccount));
+        when(mockRepo.find(2)).thenReturn(Optional.of(mockTargetAccount));
+
+        AccountServiceImpl<AccountInfo> service = new AccountServiceImpl<>(mockRepo, AccountInfo::new);
+
+        AccountResult<AccountInfo> result = service.tryTransferFunds(1, 2, BigDecimal.valueOf(30).setScale(2, RoundingMode.HALF_UP));
+        assertFalse(result.isSuccess());
+        assertEquals(AccountingError.INSUFFICIENT_FUNDS, result.error());
+        verify(mockRepo, never()).persist(any());
+    }
+
+    @Test
+    void tryTransferFunds_shouldReturnError_onSameAccount() {
+        AccountRepository mockRepo = mock(AccountRepository.class);
+
+        AccountServiceImpl<AccountInfo> service = new AccountServiceImpl<>(mockRepo, AccountInfo::new);
+
+        assertEquals(AccountingError.SAME_ACCOUNT_TRANSFER, service.tryTransferFunds(1, 1, BigDecimal.ONE).error());
+    }
+
+    @Test
+    void tryTransferFunds_shouldReturnError_onNonPositiveAmount() {
+        AccountRepository mockRepo = mock(AccountRepository.class);
+
+        AccountServiceImpl<AccountInfo> service = new AccountServiceImpl<>(mockRepo, AccountInfo::new);
+
+        assertEquals(AccountingError.NON_POSITIVE_TRANSFER_AMOUNT, service.tryTransferFunds(1, 2, BigDecimal.ZERO).error());
+        assertEquals(AccountingError.NON_POSITIVE_TRANSFER_AMOUNT, service.tryTransferFunds(1, 2, BigDecimal.ONE.negate()).error());
+    }
+
+    @Test
+    void tryTransferFunds_shouldReturnError_onUnknownAccountId() {
+        AccountRepository mockRepo = mock(AccountRepository.class);
+        when(mockRepo.find(anyLong())).thenReturn(Optional.empty());
+
+        AccountServiceImpl<AccountInfo> service = new AccountServiceImpl<>(mockRepo, AccountInfo::new);
+
+        assertEquals(AccountingError.ACCOUNT_NOT_FOUND, service.tryTransferFunds(1, 2, BigDecimal.ONE).error());
+    }
+
+    @Test
+    void transferFunds_shouldCarryTypedError_inException() {
+        AccountRepository mockRepo = mock(AccountRepository.class);
+        when(mockRepo.find(anyLong())).thenReturn(Optional.empty());
+
+        AccountServiceImpl<AccountInfo> service = new AccountServiceImpl<>(mockRepo, AccountInfo::new);
+
+        AccountingException e = assertThrows(AccountingException.class, () -> service.transferFunds(1, 2, BigDecimal.ONE));
+        assertEquals(AccountingError.ACCOUNT_NOT_FOUND, e.getError());
+        assertEquals(AccountingError.ACCOUNT_NOT_FOUND.message, e.getMessage());
+    }
+
     @Test
     void transferFunds_shouldBeThreadSafe() throws Exception {
         long mockSourceId = 1;
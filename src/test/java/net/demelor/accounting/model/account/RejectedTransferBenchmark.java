@@ -0,0 +1,62 @@
+package net.demelor.accounting.model.account;
+
+import net.demelor.accounting.exception.AccountingException;
+import net.demelor.accounting.view.response.AccountInfo;
+
+import java.math.BigDecimal;
+
+/**
+ * Compares exception and result paths of {@link AccountService#transferFunds}
+ * when most of transfers are rejected for insufficient funds.
+ *
+ * Not a unit test, run manually:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=net.demelor.accounting.model.account.RejectedTransferBenchmark
+ * </pre>
+ */
+public class RejectedTransferBenchmark {
+    private static final int ITERATIONS = 2_000_000;
+    private static final int ROUNDS = 5;
+    private static final int REJECTED_PERCENT = 90;
+
+    public static void main(String[] args) {
+        AccountInMemoryStorage storage = new AccountInMemoryStorage();
+        long rich = storage.create("Alice", BigDecimal.valueOf(Long.MAX_VALUE)).id;
+        long poor = storage.create("Bob", BigDecimal.ZERO).id;
+        long target = storage.create("Carol", BigDecimal.ZERO).id;
+
+        AccountService<AccountInfo> service = new AccountServiceImpl<>(storage, AccountInfo::new);
+        BigDecimal amount = BigDecimal.ONE;
+
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            int rejected = 0;
+            for (int i = 0; i < ITERATIONS; i++) {
+                long source = i % 100 < REJECTED_PERCENT ? poor : rich;
+                try {
+                    service.transferFunds(source, target, amount);
+                } catch (AccountingException e) {
+                    rejected++;
+                }
+            }
+            report("exception", round, start, rejected);
+
+            start = System.nanoTime();
+            rejected = 0;
+            for (int i = 0; i < ITERATIONS; i++) {
+                long source = i % 100 < REJECTED_PERCENT ? poor : rich;
+                if (!service.tryTransferFunds(source, target, amount).isSuccess()) {
+                    rejected++;
+                }
+            }
+            report("result", round, start, rejected);
+        }
+    }
+
+    private static void report(String path, int round, long start, int rejected) {
+        long nanos = System.nanoTime() - start;
+        System.out.printf("round %d, %-9s path: %6.1f ns/op, %d rejected%n",
+                round, path, (double) nanos / ITERATIONS, rejected);
+    }
+}
@@ -0,0 +1,271 @@
+package net.demelor.accounting.model.transfer;
+
+import net.demelor.accounting.exception.AccountingError;
+import net.demelor.accounting.exception.AccountingException;
+import net.demelor.accounting.model.account.AccountResult;
+import net.demelor.accounting.model.account.AccountService;
+import net.demelor.accounting.view.response.AccountInfo;
+import net.demelor.accounting.view.response.ScheduledTransferInfo;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class ScheduledTransferServiceImplTest {
+    private static final long START = 1_000_000;
+    private static final long TICK = 1000;
+
+    private final AtomicLong clock = new AtomicLong(START);
+
+    @SuppressWarnings("unchecked")
+    private AccountService<AccountInfo> mockAccountService() {
+        AccountService<AccountInfo> accountService = mock(AccountService.class);
+        AccountInfo mockAccount = new AccountInfo(1, "Alice", BigDecimal.TEN);
+        when(accountService.findAccount(anyLong())).thenReturn(Optional.of(mockAccount));
+        when(accountService.tryTransferFunds(anyLong(), anyLong(), any()))
+                .thenReturn(AccountResult.success(mockAccount));
+        return accountService;
+    }
+
+    private ScheduledTransferServiceImpl<ScheduledTransferInfo> service(AccountService<AccountInfo> accountService) {
+        return new ScheduledTransferServiceImpl<>(accountService, ScheduledTransferInfo::new,
+                TICK, clock::get, Runnable::run);
+    }
+
+    private void advanceTo(ScheduledTransferServiceImpl<?> service, long time) {
+        clock.set(time);
+        service.tick();
+    }
+
+    @Test
+    void scheduleTransfer_shouldFail_onInvalidData() {
+        AccountService<AccountInfo> accountService = mockAccountService();
+        when(accountService.findAccount(3)).thenReturn(Optional.empty());
+        ScheduledTransferServiceImpl<ScheduledTransferInfo> service = service(accountService);
+
+        assertThrows(AccountingException.class, () -> service.scheduleTransfer(1, 1, BigDecimal.ONE, START, 0));
+        assertThrows(AccountingException.class, () -> service.scheduleTransfer(1, 2, BigDecimal.ZERO, START, 0));
+        assertThrows(AccountingException.class, () -> service.scheduleTransfer(1, 2, BigDecimal.ONE, START, -1));
+        assertThrows(AccountingException.class, () -> service.scheduleTransfer(1, 3, BigDecimal.ONE, START, 0));
+    }
+
+    @Test
+    void tryScheduleTransfer_shouldReturnTypedError_onInvalidData() {
+        AccountService<AccountInfo> accountService = mockAccountService();
+        when(accountService.findAccount(3)).thenReturn(Optional.empty());
+        ScheduledTransferServiceImpl<ScheduledTransferInfo> service = service(accountService);
+
+        assertEquals(AccountingError.SAME_ACCOUNT_TRANSFER,
+                service.tryScheduleTransfer(1, 1, BigDecimal.ONE, START, 0).error());
+        assertEquals(AccountingError.NON_POSITIVE_TRANSFER_AMOUNT,
+                service.tryScheduleTransfer(1, 2, BigDecimal.ZERO, START, 0).error());
+        assertEquals(AccountingError.NEGATIVE_REPEAT_INTERVAL,
+                service.tryScheduleTransfer(1, 2, BigDecimal.ONE, START, -1).error());
+        assertEquals(AccountingError.ACCOUNT_NOT_FOUND,
+                service.tryScheduleTransfer(1, 3, BigDecimal.ONE, START, 0).error());
+    }
+
+    @Test
+    void scheduleTransfer_shouldFail_onTooLongInterval() {
+        ScheduledTransferServiceImpl<ScheduledTransferInfo> service = service(mockAccountService());
+
+        AccountingException e = assertThrows(AccountingException.class, () -> service.scheduleTransfer(
+                1, 2, BigDecimal.ONE, START, TimeUnit.SECONDS.toMillis(10_000_000_000_000_000L)));
+        assertEquals(AccountingError.REPEAT_INTERVAL_TOO_LONG, e.getError());
+    }
+
+    @Test
+    void tick_shouldExecuteOneShotTransfer_whenDue_andRemoveIt() throws Exception {
+        AccountService<AccountInfo> accountService = mockAccountService();
+        ScheduledTransferServiceImpl<ScheduledTransferInfo> service = service(accountService);
+
+        ScheduledTransferInfo transfer = service.scheduleTransfer(1, 2, BigDecimal.ONE, START + 1500, 0);
+
+        advanceTo(service, START + 1000);
+        verify(accountService, never()).tryTransferFunds(anyLong(), anyLong(), any());
+        assertTrue(service.findScheduledTransfer(transfer.id).isPresent());
+
+        advanceTo(service, START + 2000);
+        verify(accountService, times(1)).tryTransferFunds(1, 2, BigDecimal.ONE.setScale(2));
+        assertEquals(Optional.empty(), service.findScheduledTransfer(transfer.id));
+
+        advanceTo(service, START + 10000);
+        verify(accountService, times(1)).tryTransferFunds(anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void tick_shouldRescheduleRecurringTransfer() throws Exception {
+        AccountService<AccountInfo> accountService = mockAccountService();
+        ScheduledTransferServiceImpl<ScheduledTransferInfo> service = service(accountService);
+
+        ScheduledTransferInfo transfer = service.scheduleTransfer(1, 2, BigDecimal.ONE, START + 1000, 2000);
+
+        for (long time = START + 1000; time <= START + 7000; time += TICK) {
+            advanceTo(service, time);
+        }
+
+        verify(accountService, times(4)).tryTransferFunds(anyLong(), anyLong(), any());
+        assertEquals(Instant.ofEpochMilli(START + 9000).toString(),
+                service.findScheduledTransfer(transfer.id).get().nextExecution);
+    }
+
+    @Test
+    void tick_shouldSkipMissedExecutions_ofRecurringTransfer() throws Exception {
+        AccountService<AccountInfo> accountService = mockAccountService();
+        ScheduledTransferServiceImpl<ScheduledTransferInfo> service = service(accountService);
+
+        ScheduledTransferInfo transfer = service.scheduleTransfer(1, 2, BigDecimal.ONE, START + 1000, 2000);
+
+        advanceTo(service, START + 10000);
+
+        verify(accountService, times(1)).tryTransferFunds(anyLong(), anyLong(), any());
+        assertEquals(Instant.ofEpochMilli(START + 11000).toString(),
+                service.findScheduledTransfer(transfer.id).get().nextExecution);
+    }
+
+    @Test
+    void tick_shouldNotRepeatTransfer_scheduledAtExtremeTime() throws Exception {
+        AccountService<AccountInfo> accountService = mockAccountService();
+        ScheduledTransferServiceImpl<ScheduledTransferInfo> service = service(accountService);
+
+        long interval = ScheduledTransferServiceImpl.MAX_REPEAT_INTERVAL;
+        service.scheduleTransfer(1, 2, BigDecimal.ONE, Long.MAX_VALUE - 1, 0);
+        ScheduledTransferInfo past = service.scheduleTransfer(1, 2, BigDecimal.ONE, Long.MIN_VALUE + 1, interval);
+
+        for (long time = START + 1000; time <= START + 5000; time += TICK) {
+            advanceTo(service, time);
+        }
+
+        verify(accountService, times(1)).tryTransferFunds(anyLong(), anyLong(), any());
+        long nextExecution = Instant.parse(service.findScheduledTransfer(past.id).get().nextExecution).toEpochMilli();
+        assertTrue(nextExecution > START + 5000);
+        assertTrue(nextExecution <= START + 1000 + interval);
+    }
+
+    @Test
+    void tick_shouldGroupDueTransfers_bySourceAccount() throws Exception {
+        AccountService<AccountInfo> accountService = mockAccountService();
+        List<Runnable> batches = new ArrayList<>();
+        ScheduledTransferServiceImpl<ScheduledTransferInfo> service = new ScheduledTransferServiceImpl<>(
+                accountService, ScheduledTransferInfo::new, TICK, clock::get, batches::add);
+
+        service.scheduleTransfer(1, 3, BigDecimal.ONE, START + 1000, 0);
+        service.scheduleTransfer(1, 4, BigDecimal.ONE, START + 1000, 0);
+        service.scheduleTransfer(1, 5, BigDecimal.ONE, START + 1000, 0);
+        service.scheduleTransfer(2, 3, BigDecimal.ONE, START + 1000, 0);
+
+        advanceTo(service, START + 1000);
+        assertEquals(2, batches.size());
+
+        batches.forEach(Runnable::run);
+        verify(accountService, times(3)).tryTransferFunds(eq(1L), anyLong(), any());
+        verify(accountService, times(1)).tryTransferFunds(eq(2L), anyLong(), any());
+    }
+
+    @Test
+    void cancelScheduledTransfer_shouldPreventExecution_beforeItIsDue() throws Exception {
+        AccountService<AccountInfo> accountService = mockAccountService();
+        ScheduledTransferServiceImpl<ScheduledTransferInfo> service = service(accountService);
+
+        ScheduledTransferInfo transfer = service.scheduleTransfer(1, 2, BigDecimal.ONE, START + 1000, 1000);
+
+        assertTrue(service.cancelScheduledTransfer(transfer.id).isPresent());
+        assertEquals(Optional.empty(), service.cancelScheduledTransfer(transfer.id));
+
+        advanceTo(service, START + 5000);
+        verify(accountService, never()).tryTransferFunds(anyLong(), anyLong(), any());
+        assertEquals(Optional.empty(), service.findScheduledTransfer(transfer.id));
+    }
+
+    @Test
+    void cancelScheduledTransfer_shouldPreventExecution_ofDispatchedBatch() throws Exception {
+        AccountService<AccountInfo> accountService = mockAccountService();
+        List<Runnable> batches = new ArrayList<>();
+        ScheduledTransferServiceImpl<ScheduledTransferInfo> service = new ScheduledTransferServiceImpl<>(
+                accountService, ScheduledTransferInfo::new, TICK, clock::get, batches::add);
+
+        ScheduledTransferInfo transfer = service.scheduleTransfer(1, 2, BigDecimal.ONE, START + 1000, 1000);
+
+        advanceTo(service, START + 1000);
+        service.cancelScheduledTransfer(transfer.id);
+        batches.forEach(Runnable::run);
+
+        advanceTo(service, START + 5000);
+        verify(accountService, never()).tryTransferFunds(anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void tick_shouldRecordLastError_andContinueBatch() throws Exception {
+        AccountService<AccountInfo> accountService = mockAccountService();
+        when(accountService.tryTransferFunds(eq(1L), eq(2L), any()))
+                .thenReturn(AccountResult.failure(AccountingError.INSUFFICIENT_FUNDS));
+        when(accountService.tryTransferFunds(eq(1L), eq(3L), any()))
+                .thenThrow(new IllegalStateException("Storage is unavailable"));
+        ScheduledTransferServiceImpl<ScheduledTransferInfo> service = service(accountService);
+
+        ScheduledTransferInfo rejected = service.scheduleTransfer(1, 2, BigDecimal.ONE, START + 1000, 1000);
+        ScheduledTransferInfo failed = service.scheduleTransfer(1, 3, BigDecimal.ONE, START + 1000, 1000);
+        service.scheduleTransfer(1, 4, BigDecimal.ONE, START + 1000, 1000);
+
+        advanceTo(service, START + 1000);
+
+        verify(accountService, times(1)).tryTransferFunds(eq(1L), eq(4L), any());
+        assertEquals(AccountingError.INSUFFICIENT_FUNDS.message,
+                service.findScheduledTransfer(rejected.id).get().lastError);
+        assertNotNull(service.findScheduledTransfer(failed.id).get().lastError);
+    }
+
+    @Test
+    void tick_shouldDropOneShotTransfers_andKeepRecurring_whenBatchIsRejected() throws Exception {
+        AccountService<AccountInfo> accountService = mockAccountService();
+        ScheduledTransferServiceImpl<ScheduledTransferInfo> service = new ScheduledTransferServiceImpl<>(
+                accountService, ScheduledTransferInfo::new, TICK, clock::get, batch -> {
+                    throw new RejectedExecutionException("Workers are shut down");
+                });
+
+        ScheduledTransferInfo oneShot = service.scheduleTransfer(1, 2, BigDecimal.ONE, START + 1000, 0);
+        ScheduledTransferInfo recurring = service.scheduleTransfer(1, 3, BigDecimal.ONE, START + 1000, 1000);
+
+        advanceTo(service, START + 1000);
+
+        verify(accountService, never()).tryTransferFunds(anyLong(), anyLong(), any());
+        assertEquals(Optional.empty(), service.findScheduledTransfer(oneShot.id));
+
+        ScheduledTransferInfo recurringState = service.findScheduledTransfer(recurring.id).get();
+        assertNotNull(recurringState.lastError);
+        assertEquals(Instant.ofEpochMilli(START + 2000).toString(), recurringState.nextExecution);
+    }
+
+    @Test
+    void tick_shouldDropOneShotTransfers_afterStop() throws Exception {
+        AccountService<AccountInfo> accountService = mockAccountService();
+        ScheduledTransferServiceImpl<ScheduledTransferInfo> service = new ScheduledTransferServiceImpl<>(
+                accountService, ScheduledTransferInfo::new, 10, 1, 1);
+
+        ScheduledTransferInfo transfer = service.scheduleTransfer(1, 2, BigDecimal.ONE, 0, 0);
+
+        service.stop();
+        Thread.sleep(30);
+        service.tick();
+
+        verify(accountService, never()).tryTransferFunds(anyLong(), anyLong(), any());
+        assertEquals(Optional.empty(), service.findScheduledTransfer(transfer.id));
+    }
+
+    @Test
+    void constructor_shouldFail_onNonPositiveTick() {
+        AccountService<AccountInfo> accountService = mockAccountService();
+
+        assertThrows(IllegalArgumentException.class, () -> new ScheduledTransferServiceImpl<>(
+                accountService, ScheduledTransferInfo::new, 0, clock::get, Runnable::run));
+    }
+}
@@ -0,0 +1,82 @@
+package net.demelor.accounting.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HierarchicalTimerWheelTest {
+
+    @Test
+    void advance_shouldExpireTasks_onTheirDeadlineTick() {
+        HierarchicalTimerWheel<String> wheel = new HierarchicalTimerWheel<>(2, 3, 0);
+
+        wheel.schedule("near", 3);
+        wheel.schedule("cascaded", 17);
+        wheel.schedule("far", 62);
+
+        assertEquals(Collections.emptyList(), wheel.advance(2));
+        assertEquals(Collections.singletonList("near"), wheel.advance(3));
+        assertEquals(Collections.emptyList(), wheel.advance(16));
+        assertEquals(Collections.singletonList("cascaded"), wheel.advance(17));
+        assertEquals(Collections.emptyList(), wheel.advance(61));
+        assertEquals(Collections.singletonList("far"), wheel.advance(62));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void advance_shouldExpireTasks_beyondWheelRange() {
+        HierarchicalTimerWheel<String> wheel = new HierarchicalTimerWheel<>(2, 3, 0);
+
+        wheel.schedule("beyond", 200);
+
+        assertEquals(Collections.emptyList(), wheel.advance(199));
+        assertEquals(Collections.singletonList("beyond"), wheel.advance(200));
+    }
+
+    @Test
+    void schedule_shouldExpireOverdueTasks_onNextTick() {
+        HierarchicalTimerWheel<String> wheel = new HierarchicalTimerWheel<>(2, 3, 10);
+
+        wheel.schedule("overdue", 5);
+
+        assertEquals(Collections.singletonList("overdue"), wheel.advance(11));
+    }
+
+    @Test
+    void advance_shouldExpireAllTasks_withSameDeadline() {
+        HierarchicalTimerWheel<Integer> wheel = new HierarchicalTimerWheel<>();
+
+        for (int i = 0; i < 1000; i++) {
+            wheel.schedule(i, 86400);
+        }
+
+        assertEquals(1000, wheel.size());
+        assertEquals(Collections.emptyList(), wheel.advance(86399));
+        assertEquals(1000, wheel.advance(86400).size());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void cancel_shouldRemovePendingTask() {
+        HierarchicalTimerWheel<String> wheel = new HierarchicalTimerWheel<>(2, 3, 0);
+
+        HierarchicalTimerWheel.Timeout<String> first = wheel.schedule("first", 20);
+        HierarchicalTimerWheel.Timeout<String> second = wheel.schedule("second", 20);
+        HierarchicalTimerWheel.Timeout<String> third = wheel.schedule("third", 20);
+
+        assertTrue(wheel.cancel(second));
+        assertFalse(wheel.cancel(second));
+        assertFalse(second.isPending());
+        assertEquals(2, wheel.size());
+
+        List<String> expired = wheel.advance(20);
+        expired.sort(null);
+        assertEquals(Arrays.asList("first", "third"), expired);
+        assertFalse(first.isPending());
+        assertFalse(wheel.cancel(third));
+    }
+}
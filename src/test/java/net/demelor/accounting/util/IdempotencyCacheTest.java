@@ -0,0 +1,194 @@
+package net.demelor.accounting.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IdempotencyCacheTest {
+    private static final String REQUEST = "request";
+    private static final String CONFLICT = "conflict";
+
+    /**
+     * Keys which fall into the same cache segment, to make eviction order observable.
+     */
+    private static List<String> sameSegmentKeys(int count) {
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; keys.size() < count; i++) {
+            String key = "key-" + i;
+            if ((key.hashCode() & 0x7fffffff) % IdempotencyCache.SEGMENTS == 0) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+
+    private static void awaitWaiters(IdempotencyCache<?> cache, String key, int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (cache.waiters(key) < expected) {
+            assertTrue(System.currentTimeMillis() < deadline, "Retry is not waiting for running operation");
+            Thread.sleep(1);
+        }
+    }
+
+    @Test
+    void compute_shouldReturnStoredResult_forSameKey() throws Exception {
+        IdempotencyCache<String> cache = new IdempotencyCache<>(100, 1000);
+        AtomicInteger executions = new AtomicInteger();
+
+        assertEquals("first", cache.compute("key", REQUEST, () -> {
+            executions.incrementAndGet();
+            return "first";
+        }, () -> CONFLICT));
+        assertEquals("first", cache.compute("key", REQUEST, () -> {
+            executions.incrementAndGet();
+            return "second";
+        }, () -> CONFLICT));
+        assertEquals("other", cache.compute("other-key", REQUEST, () -> "other", () -> CONFLICT));
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void compute_shouldReturnConflict_onKeyReusedForAnotherRequest() throws Exception {
+        IdempotencyCache<String> cache = new IdempotencyCache<>(100, 1000);
+        AtomicInteger executions = new AtomicInteger();
+
+        cache.compute("key", REQUEST, () -> "first", () -> CONFLICT);
+
+        assertEquals(CONFLICT, cache.compute("key", "other request", () -> {
+            executions.incrementAndGet();
+            return "second";
+        }, () -> CONFLICT));
+        assertEquals(0, executions.get());
+        assertEquals("first", cache.compute("key", REQUEST, () -> "second", () -> CONFLICT));
+    }
+
+    @Test
+    void compute_shouldRunOperationAgain_afterExpiration() throws Exception {
+        AtomicLong clock = new AtomicLong();
+        IdempotencyCache<String> cache = new IdempotencyCache<>(100, 1000, value -> true, clock::get);
+
+        assertEquals("first", cache.compute("key", REQUEST, () -> "first", () -> CONFLICT));
+        clock.set(999);
+        assertEquals("first", cache.compute("key", REQUEST, () -> "second", () -> CONFLICT));
+        clock.set(1000);
+        assertEquals("second", cache.compute("key", REQUEST, () -> "second", () -> CONFLICT));
+    }
+
+    @Test
+    void compute_shouldEvictLeastRecentlyUsed_whenFull() throws Exception {
+        IdempotencyCache<String> cache = new IdempotencyCache<>(2 * IdempotencyCache.SEGMENTS, 1000);
+        List<String> keys = sameSegmentKeys(3);
+
+        cache.compute(keys.get(0), REQUEST, () -> "oldest", () -> CONFLICT);
+        cache.compute(keys.get(1), REQUEST, () -> "older", () -> CONFLICT);
+        assertEquals("oldest", cache.compute(keys.get(0), REQUEST, () -> "recomputed", () -> CONFLICT));
+
+        cache.compute(keys.get(2), REQUEST, () -> "newest", () -> CONFLICT);
+
+        assertEquals("oldest", cache.compute(keys.get(0), REQUEST, () -> "recomputed", () -> CONFLICT));
+        assertEquals("recomputed", cache.compute(keys.get(1), REQUEST, () -> "recomputed", () -> CONFLICT));
+    }
+
+    @Test
+    void compute_shouldNotStoreFailedResult() throws Exception {
+        IdempotencyCache<String> cache = new IdempotencyCache<>(100, 1000);
+
+        assertThrows(IllegalStateException.class, () -> cache.compute("key", REQUEST, () -> {
+            throw new IllegalStateException();
+        }, () -> CONFLICT));
+        assertEquals("retried", cache.compute("key", REQUEST, () -> "retried", () -> CONFLICT));
+    }
+
+    @Test
+    void compute_shouldNotStoreResult_rejectedByPredicate() throws Exception {
+        IdempotencyCache<String> cache = new IdempotencyCache<>(100, 1000, value -> !value.startsWith("rejected"));
+
+        assertEquals("rejected", cache.compute("key", REQUEST, () -> "rejected", () -> CONFLICT));
+        assertEquals("accepted", cache.compute("key", REQUEST, () -> "accepted", () -> CONFLICT));
+        assertEquals("accepted", cache.compute("key", REQUEST, () -> "rejected again", () -> CONFLICT));
+    }
+
+    @Test
+    void compute_shouldWaitForRunningOperation_withSameKey() throws Exception {
+        IdempotencyCache<String> cache = new IdempotencyCache<>(100, 1000);
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> first = executor.submit(() -> cache.compute("key", REQUEST, () -> {
+                executions.incrementAndGet();
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                return "done";
+            }, () -> CONFLICT));
+
+            started.await();
+            Future<String> second = executor.submit(() -> cache.compute("key", REQUEST,
+                    () -> fail("Retry must not run the operation again"), () -> CONFLICT));
+
+            awaitWaiters(cache, "key", 1);
+
+            release.countDown();
+            assertEquals("done", first.get());
+            assertEquals("done", second.get());
+            assertEquals(1, executions.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void compute_shouldNotEvictRunningOperation_whenFull() throws Exception {
+        IdempotencyCache<String> cache = new IdempotencyCache<>(IdempotencyCache.SEGMENTS, 1000);
+        List<String> keys = sameSegmentKeys(100);
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> first = executor.submit(() -> cache.compute(keys.get(0), REQUEST, () -> {
+                executions.incrementAndGet();
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                return "done";
+            }, () -> CONFLICT));
+
+            started.await();
+            for (String key : keys.subList(1, keys.size())) {
+                cache.compute(key, REQUEST, () -> "other", () -> CONFLICT);
+            }
+
+            Future<String> retry = executor.submit(() -> cache.compute(keys.get(0), REQUEST,
+                    () -> fail("Retry must not run the operation again"), () -> CONFLICT));
+
+            awaitWaiters(cache, keys.get(0), 1);
+
+            release.countDown();
+            assertEquals("done", first.get());
+            assertEquals("done", retry.get());
+            assertEquals(1, executions.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package net.demelor.accounting.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.demelor.accounting.exception.AccountingError;
+import net.demelor.accounting.view.response.EncodedMessage;
+import net.demelor.accounting.view.response.Message;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JsonTransformerTest {
+
+    @Test
+    void render_shouldSerializeObjects() throws Exception {
+        JsonTransformer transformer = new JsonTransformer();
+
+        assertEquals("{\"message\":\"Hello\"}", transformer.render(new Message("Hello")));
+    }
+
+    @Test
+    void render_shouldWriteEncodedMessageVerbatim() throws Exception {
+        JsonTransformer transformer = new JsonTransformer();
+        EncodedMessage encoded = EncodedMessage.of(AccountingError.INSUFFICIENT_FUNDS);
+
+        assertSame(encoded.json, transformer.render(encoded));
+    }
+
+    @Test
+    void encodedMessage_shouldExist_forEachError() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+
+        for (AccountingError error : AccountingError.values()) {
+            EncodedMessage encoded = EncodedMessage.of(error);
+
+            assertNotNull(encoded, error.name());
+            assertSame(encoded, EncodedMessage.of(error));
+            assertEquals(error.message, mapper.readTree(encoded.json).get("message").asText());
+        }
+    }
+}